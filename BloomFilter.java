@@ -0,0 +1,92 @@
+/**
+*  Blocked Bloom filter used as an approximate membership front for SkipListSet.
+*  Every value maps to one 512 bit block (a single cache line) and all of its bits
+*  are set inside that block, so a lookup touches one cache line.
+*  It only answers "definitely not present" or "might be present".
+**/
+class BloomFilter {
+
+    private static final int BLOCK_WORDS = 8;                 // 8 longs = 512 bits
+    private static final int BLOCK_BITS = BLOCK_WORDS * 64;
+    private static final int MAX_HASHES = 16;
+
+    private final long[] bits;
+    private final int blockCount;
+    private final int hashCount;
+    private final int insertionLimit;
+    private int insertions;
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate){
+        if (expectedInsertions < 1) {
+            expectedInsertions = 1;
+        }
+
+        // Standard sizing: m = -n ln(p) / (ln 2)^2, k = m/n ln 2
+        double totalBits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.blockCount = (int) Math.max(1, Math.ceil(totalBits / BLOCK_BITS));
+        this.bits = new long[blockCount * BLOCK_WORDS];
+
+        int k = (int) Math.round((double) blockCount * BLOCK_BITS / expectedInsertions * Math.log(2));
+        this.hashCount = Math.max(1, Math.min(MAX_HASHES, k));
+        this.insertions = 0;
+
+        // Insertions after which the standard estimate (1 - e^(-kn/m))^k passes the target, solved for n.
+        // Blocks fill unevenly, so a blocked filter runs above that estimate; aim at half the rate for margin.
+        double perHash = Math.pow(falsePositiveRate / 2, 1.0 / hashCount);
+        double limit = -((double) blockCount * BLOCK_BITS / hashCount) * Math.log(1 - perHash);
+        this.insertionLimit = (int) Math.min(Integer.MAX_VALUE, limit);
+    }
+
+    void add(Object value){
+        long hash = mix(value.hashCode());
+        int base = blockIndex(hash) * BLOCK_WORDS;
+        int h1 = (int) hash;
+        int h2 = (h1 >>> 16) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            bits[base + (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    boolean mightContain(Object value){
+        long hash = mix(value.hashCode());
+        int base = blockIndex(hash) * BLOCK_WORDS;
+        int h1 = (int) hash;
+        int h2 = (h1 >>> 16) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //More values added than the filter was sized for at its target rate
+    boolean isOverCapacity(){
+        return insertions > insertionLimit;
+    }
+
+    int getInsertions(){
+        return insertions;
+    }
+
+    //Pick a block from the high 32 bits, the bits inside the block come from the low 32 (h1 bits 0-8, h2 bits 16-24)
+    private int blockIndex(long hash){
+        return (int) (((hash >>> 32) * blockCount) >>> 32);
+    }
+
+    //MurmurHash3 finalizer, spreads weak hashCodes such as Integer's over all 64 bits
+    private static long mix(int hashCode){
+        long h = hashCode;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93e53fe1a85L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -29,6 +29,22 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
     private int size;
 	private int currentTopLevel;
 
+    // Optional Bloom filter in front of contains(), null when disabled
+    private static final int MIN_FILTER_SAMPLE = 1000;
+    private BloomFilter membershipFilter;
+    private int filterExpectedInsertions;
+    private double filterMaxFalsePositiveRate;
+    private boolean filterNeedsRebuild;
+    private int removalsSinceFilterRebuild;
+    private long windowMisses;          // misses in the current window of MIN_FILTER_SAMPLE
+    private long windowFalsePositives;  // of those, how many got past the filter
+
+    // Filter statistics, kept across rebuilds
+    private long filterRejections;      // definite misses answered by the filter
+    private long filterHits;            // passed the filter and were found
+    private long filterFalsePositives;  // passed the filter but were not found
+    private int filterRebuilds;
+
     public SkipListSet(){
         this.head = null;
         this.currentTopLevel = 0;
@@ -200,6 +216,7 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
                 tail.backList.set(i, newNode);
             }
             size++;
+            recordFilterInsertion(value);
             return true;
         }
 
@@ -222,6 +239,7 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
                     //insert node here
                     handlePlacingNewNode(curNode,newNode);
                     size++;
+                    recordFilterInsertion(value);
                     return true;
                 }
 
@@ -253,6 +271,11 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
             return false;
         }
 
+        // Definite misses stop here, before the type check and the descent
+        if (membershipFilter != null && !filterMightContain(o)) {
+            return false;
+        }
+
         // Check if the object is of the correct type
         if (!(o instanceof Comparable<?>)) {
             return false;
@@ -263,7 +286,7 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
             T value = (T) o;
             
             //Now simply check if value is in my list
-            return contains(value);
+            return recordFilterResult(search(value));
         } catch (ClassCastException e) {
             // casting failed
             return false;
@@ -271,6 +294,13 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
     }
    
     public boolean contains(T value){
+        if (membershipFilter != null && !filterMightContain(value)) {
+            return false;
+        }
+        return recordFilterResult(search(value));
+    }
+
+    private boolean search(T value){
 
         if(head == null){
             return false;
@@ -311,7 +341,7 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
         // Iterate through the collection `c`
         for (Object item : c) {
             // Check if this set contains each item in `c`
-            if (!this.contains(item)) {
+            if (!containsUnrecorded(item)) {
                 return false; // If any item is missing, return false
             }
         }
@@ -395,6 +425,11 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
                 //Delete if equal
                 handleDeletingNode(curNode,nextNode,nextNode.nextList.get(currentSearchingLevel));
                 size--;
+                if (membershipFilter != null && removalsSinceFilterRebuild++ == 0) {
+                    //Its bits stay set until the next rebuild, start measuring the rate from here
+                    windowMisses = 0;
+                    windowFalsePositives = 0;
+                }
                 return true;
             }else{//nextnode is less than newNode
                 curNode = nextNode;
@@ -440,7 +475,7 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
         // Iterate through the collection
         for (Object item : c) {
             // If in my set remove it
-            if (this.contains(item)) {
+            if (containsUnrecorded(item)) {
                 this.remove((T) item);
                 modified = true;
             }
@@ -454,6 +489,9 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
         head = null;
         tail = null;
         size=0;
+        if (membershipFilter != null) {
+            resetMembershipFilter(filterExpectedInsertions);
+        }
     }  
 
     @Override
@@ -543,6 +581,63 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
         return currentTopLevel;
     }
 
+    /**
+     * Puts a Bloom filter in front of contains() so most misses skip the descent.
+     * The filter uses hashCode(), so it is only correct when elements that compare
+     * equal also have equal hash codes.
+     *
+     * @param expectedInsertions    number of elements the filter is sized for
+     * @param maxFalsePositiveRate  target rate, the filter is rebuilt once it drifts above it
+     */
+    public void enableMembershipFilter(int expectedInsertions, double maxFalsePositiveRate){
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (!(maxFalsePositiveRate > 0 && maxFalsePositiveRate < 1)) {
+            throw new IllegalArgumentException("maxFalsePositiveRate must be between 0 and 1");
+        }
+        this.filterExpectedInsertions = expectedInsertions;
+        this.filterMaxFalsePositiveRate = maxFalsePositiveRate;
+        fillMembershipFilter();
+    }
+
+    public void disableMembershipFilter(){
+        membershipFilter = null;
+        filterNeedsRebuild = false;
+    }
+
+    public boolean isMembershipFilterEnabled(){
+        return membershipFilter != null;
+    }
+
+    // Lookups answered "not present" by the filter alone
+    public long getFilterRejections(){
+        return filterRejections;
+    }
+
+    // Lookups that passed the filter and were found
+    public long getFilterHits(){
+        return filterHits;
+    }
+
+    // Lookups that passed the filter but were not in the set
+    public long getFilterFalsePositives(){
+        return filterFalsePositives;
+    }
+
+    // Share of misses that got past the filter, use it to size expectedInsertions
+    public double getFilterFalsePositiveRate(){
+        long misses = filterRejections + filterFalsePositives;
+        if (misses == 0) {
+            return 0.0;
+        }
+        return (double) filterFalsePositives / misses;
+    }
+
+    public int getFilterRebuilds(){
+        return filterRebuilds;
+    }
+
     public int size(){
         return size;
     }
@@ -653,6 +748,101 @@ public class SkipListSet<T extends Comparable<T>> implements SortedSet<T>{
         }
     }
 
+    // Membership filter helpers
+
+    // Same answer as contains(Object) but leaves the filter statistics alone, for lookups the set makes itself
+    @SuppressWarnings("unchecked")
+    private boolean containsUnrecorded(Object o){
+        if (!(o instanceof Comparable<?>)) {
+            return false;
+        }
+        // A pending rebuild means recent values may be missing from the filter, so skip it
+        if (membershipFilter != null && !filterNeedsRebuild && !membershipFilter.mightContain(o)) {
+            return false;
+        }
+        try {
+            return search((T) o);
+        } catch (ClassCastException e) {
+            return false;
+        }
+    }
+
+    private boolean filterMightContain(Object o){
+        if (filterNeedsRebuild) {
+            fillMembershipFilter();
+            filterRebuilds++;
+        }
+        if (!membershipFilter.mightContain(o)) {
+            filterRejections++;
+            recordFilterMiss(false);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean recordFilterResult(boolean found){
+        if (membershipFilter == null) {
+            return found;
+        }
+        if (found) {
+            filterHits++;
+            return true;
+        }
+
+        filterFalsePositives++;
+        recordFilterMiss(true);
+        return false;
+    }
+
+    //Misses are judged in windows of MIN_FILTER_SAMPLE so a long clean history cannot hide new stale bits
+    private void recordFilterMiss(boolean passedFilter){
+        windowMisses++;
+        if (passedFilter) {
+            windowFalsePositives++;
+        }
+        if (windowMisses < MIN_FILTER_SAMPLE) {
+            return;
+        }
+
+        //Removed values leave their bits behind, rebuild once they push the last window's rate over the limit
+        if (removalsSinceFilterRebuild > 0 && windowFalsePositives > filterMaxFalsePositiveRate * windowMisses) {
+            filterNeedsRebuild = true;
+        }
+        windowMisses = 0;
+        windowFalsePositives = 0;
+    }
+
+    private void recordFilterInsertion(T value){
+        if (membershipFilter == null || filterNeedsRebuild) {
+            return; // a pending rebuild will pick the value up
+        }
+        membershipFilter.add(value);
+        //Grown past what the filter was sized for
+        if (membershipFilter.isOverCapacity()) {
+            filterNeedsRebuild = true;
+        }
+    }
+
+    private void fillMembershipFilter(){
+        resetMembershipFilter(Math.max(filterExpectedInsertions, size * 2));
+
+        if (head != null) {
+            SkipListSetItem current = head.nextList.get(0);
+            while (current != null && current != tail) {
+                membershipFilter.add(current.getValue());
+                current = current.nextList.get(0);
+            }
+        }
+    }
+
+    private void resetMembershipFilter(int capacity){
+        membershipFilter = new BloomFilter(capacity, filterMaxFalsePositiveRate);
+        filterNeedsRebuild = false;
+        removalsSinceFilterRebuild = 0;
+        windowMisses = 0;
+        windowFalsePositives = 0;
+    }
+
     private void changeHeaderAndTailLevel(int newHeight){
         int oldHeight = head.getLevel();
         head.changeLevel(newHeight);
@@ -0,0 +1,691 @@
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+
+public class UnrolledSkipListSet<T extends Comparable<T>> implements SortedSet<T>{
+    /**
+    *  Same idea as SkipListSet, but every node holds a small sorted block of keys
+    *  and is indexed by the first key in its block.
+    *
+    *  | 2 | ------------------------> |________________| ----------------------> null
+    *  | 1 | ---> |_____________| ---> |________________| ----------------------> null
+    *  | 0 | ---> | 3 | 5 | 7 | 9 | ---> | 12 | 13 | 20 | ---> | 31 | 40 | 41 | ---> null
+    *
+    *  A descent only touches one node per level and a level-0 scan walks a whole
+    *  block of keys before following a pointer, so there is far less pointer chasing
+    *  than with one value per node.
+    **/
+
+    private static final int MAX_LEVEL = 10;
+    private static final int DEFAULT_BLOCK_CAPACITY = 32;
+
+    private Random randomSeed = new Random();
+
+    // head has no keys, it only holds a next pointer for every level
+    private Block head;
+    private Block tail;  // last block on level 0, used by last()
+    private int size;
+    private int currentTopLevel;
+
+    private final int blockCapacity;
+    // Blocks that drop below this are merged with their right neighbour when the two fit
+    private final int minBlockFill;
+
+    // Scratch space for the blocks visited on each level, reused by add and remove
+    private final Block[] update = new Block[MAX_LEVEL + 1];
+
+    public UnrolledSkipListSet(){
+        this(DEFAULT_BLOCK_CAPACITY);
+    }
+
+    public UnrolledSkipListSet(int blockCapacity){
+        if (blockCapacity < 4) {
+            throw new IllegalArgumentException("blockCapacity must be at least 4");
+        }
+        this.blockCapacity = blockCapacity;
+        this.minBlockFill = blockCapacity / 4;
+        this.head = new Block(0, MAX_LEVEL);
+        this.tail = null;
+        this.currentTopLevel = 0;
+        this.size = 0;
+    }
+
+    public UnrolledSkipListSet(Collection<T> collection){
+        this(); //  default constructor
+
+        // Add each element from the collection to the skip list
+        for (T item : collection) {
+            this.add(item);
+        }
+    }
+
+
+    //PRIVATE CLASSES
+    //Block of sorted keys, plain arrays so a block is scanned without extra indirection
+    private static final class Block {
+        private final Object[] keys;
+        private int count;
+        private final Block[] next;  // next block at every level this block is on
+        private Block prev;          // previous block on level 0 only
+
+        private Block(int capacity, int level){
+            this.keys = new Object[capacity];
+            this.next = new Block[level + 1];
+        }
+
+        private int getLevel(){
+            return next.length - 1;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("[ level " + getLevel() + " |");
+            for (int i = 0; i < count; i++) {
+                sb.append(' ').append(keys[i]);
+            }
+            return sb.append(" ]").toString();
+        }
+    }
+
+
+    //Iterator class for UnrolledSkipListSet
+    private class UnrolledSkipListSetIterator implements Iterator<T> {
+        private Block current;   // block holding the next value
+        private int index;       // position of the next value inside current
+        private T lastReturned;
+
+        public UnrolledSkipListSetIterator() {
+            this.current = head.next[0];
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null && index < current.count;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in the skip list.");
+            }
+            T value = keyAt(current, index);
+            index++;
+            if (index == current.count) {
+                // Finished this block, move to the next one
+                current = current.next[0];
+                index = 0;
+            }
+            lastReturned = value;
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Cannot remove an element here.");
+            }
+
+            UnrolledSkipListSet.this.remove(lastReturned);
+
+            // Blocks may have been merged, so find the first value after the removed one again
+            Block block = findBlock(lastReturned);
+            if (block == head) {
+                block = head.next[0];
+            }
+            int pos = block == null ? 0 : searchBlock(block, lastReturned);
+            current = block;
+            index = pos < 0 ? -(pos + 1) : pos + 1;
+            if (current != null && index == current.count) {
+                current = current.next[0];
+                index = 0;
+            }
+            lastReturned = null;
+        }
+    }
+
+
+    @Override
+    public Iterator<T> iterator() {
+        return new UnrolledSkipListSetIterator();
+    }
+
+    /*
+     * Methods from SortedSet<T>:
+    */
+    @Override
+    public T first(){
+        Block first = head.next[0];
+        if(first != null){
+            return keyAt(first, 0);
+        }
+        return null;
+    }
+    @Override
+    public T last(){
+        if(tail != null){
+            return keyAt(tail, tail.count - 1);
+        }
+        return null;
+    }
+
+    @Override
+    public SortedSet<T> headSet(T toElement) {
+        throw new UnsupportedOperationException("headSet operation is not supported");
+    }
+
+    @Override
+    public SortedSet<T> tailSet(T fromElement) {
+        throw new UnsupportedOperationException("tailSet operation is not supported");
+    }
+    @Override
+    public Comparator<? super T> comparator() {
+        return null;
+    }
+
+
+    //SET Methods
+    @Override
+    public boolean add(T value){
+        if(value == null) return false;
+
+        Block block = findBlock(value, update);
+
+        //If first element
+        if(block == head && head.next[0] == null){
+            Block newBlock = new Block(blockCapacity, coinFlipForLevel());
+            newBlock.keys[0] = value;
+            newBlock.count = 1;
+            linkBlockAfter(newBlock, update);
+            size++;
+            return true;
+        }
+
+        //Smaller than every key, it becomes the new first key of the first block
+        if(block == head){
+            block = head.next[0];
+        }
+
+        int pos = searchBlock(block, value);
+        if(pos >= 0){
+            //Do nothing if equal
+            return false;
+        }
+        pos = -(pos + 1);
+
+        if(block.count == blockCapacity){
+            Block right = splitBlock(block, update);
+            if(pos > block.count){
+                pos -= block.count;
+                block = right;
+            }
+        }
+
+        insertIntoBlock(block, pos, value);
+        size++;
+        return true;
+    }
+
+    public boolean addAll(Collection<? extends T> collection) {
+        // Add each element from the collection to the skip list
+        for (T item : collection) {
+            this.add(item);
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+        // If the object is null, it cannot be in the set
+        if (o == null) {
+            return false;
+        }
+
+        // Check if the object is of the correct type
+        if (!(o instanceof Comparable<?>)) {
+            return false;
+        }
+
+        try {
+            // Cast to my type
+            T value = (T) o;
+
+            return contains(value);
+        } catch (ClassCastException e) {
+            // casting failed
+            return false;
+        }
+    }
+
+    public boolean contains(T value){
+        Block block = findBlock(value);
+        if(block == head){
+            return false; //Smaller than every key, or list is empty
+        }
+        return searchBlock(block, value) >= 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c){
+        for (Object item : c) {
+            if (!this.contains(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof Set<?>)) {
+            return false;
+        }
+
+        Set<?> otherSet = (Set<?>) o;
+
+        if (this.size() != otherSet.size()) {
+            return false;
+        }
+
+        return this.containsAll(otherSet);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (Block block = head.next[0]; block != null; block = block.next[0]) {
+            for (int i = 0; i < block.count; i++) {
+                hash += block.keys[i].hashCode();
+            }
+        }
+        return hash;
+    }
+
+    public boolean retainAll(Collection<?> c){
+        if(c == null) return false;
+
+        boolean isChangedList = false;
+
+        Iterator<T> it = iterator();
+        while(it.hasNext()){
+            // If the value is not in the collection, remove it
+            if(!c.contains(it.next())){
+                it.remove();
+                isChangedList = true;
+            }
+        }
+
+        return isChangedList;
+    }
+
+    public boolean remove(T value){
+        if(value == null){
+            return false;
+        }
+
+        Block block = findPredecessors(value, update);
+
+        //The block right after the predecessors starts with value, otherwise value can only be in update[0]
+        Block candidate = update[0].next[0];
+        if(candidate != null && equalTo(keyAt(candidate, 0), value)){
+            block = candidate;
+        }
+        if(block == head){
+            return false;
+        }
+
+        int pos = searchBlock(block, value);
+        if(pos < 0){
+            return false;
+        }
+
+        removeFromBlock(block, pos);
+        size--;
+
+        if(block.count == 0){
+            //Only a block whose first key was value can become empty, so update holds its predecessors
+            unlinkBlock(block, update);
+        }else if(block.count < minBlockFill){
+            mergeWithNext(block, update);
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+
+        // Should be comparable
+        if (!(o instanceof Comparable<?>)) {
+            return false;
+        }
+
+        try {
+            //Cast to my type
+            T value = (T) o;
+
+            return this.remove(value);
+        } catch (ClassCastException e) {
+            //Typecast fail
+            return false;
+        }
+    }
+
+    public boolean removeAll(Collection<?> c){
+        if (c == null) {
+            return false;
+        }
+
+        boolean modified = false;
+        for (Object item : c) {
+            if (this.remove(item)) {
+                modified = true;
+            }
+        }
+
+        return modified;
+    }
+
+    @Override
+    public void clear(){
+        head = new Block(0, MAX_LEVEL);
+        tail = null;
+        currentTopLevel = 0;
+        size=0;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int index = 0;
+
+        // Copy block by block along the bottom level
+        for (Block block = head.next[0]; block != null; block = block.next[0]) {
+            System.arraycopy(block.keys, 0, array, index, block.count);
+            index += block.count;
+        }
+
+        return array;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E> E[] toArray(E[] a) {
+        // If the provided array is too small, create a new array of the same runtime type
+        if (a.length < size) {
+            a = (E[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+        }
+
+        int index = 0;
+        for (Block block = head.next[0]; block != null; block = block.next[0]) {
+            System.arraycopy(block.keys, 0, a, index, block.count);
+            index += block.count;
+        }
+
+        // If the provided array is larger than the set, set the next element to null
+        if (a.length > size) {
+            a[size] = null;
+        }
+
+        return a;
+    }
+
+    @Override
+    public SortedSet<T> subSet(T fromElement, T toElement) {
+        if (fromElement == null || toElement == null) {
+            throw new NullPointerException("Bounds cannot be null");
+        }
+        if (fromElement.compareTo(toElement) > 0) {
+            throw new IllegalArgumentException("fromElement must be <= toElement");
+        }
+
+        UnrolledSkipListSet<T> subSet = new UnrolledSkipListSet<>(blockCapacity);
+
+        // Jump straight to the block that could hold fromElement
+        Block block = findBlock(fromElement);
+        int index = 0;
+        if (block == head) {
+            block = head.next[0];
+        } else {
+            int pos = searchBlock(block, fromElement);
+            index = pos < 0 ? -(pos + 1) : pos;
+        }
+
+        // Collect all elements in the range [fromElement, toElement), they arrive in order
+        while (block != null) {
+            for (; index < block.count; index++) {
+                T value = keyAt(block, index);
+                if (!lessThan(value, toElement)) {
+                    return subSet;
+                }
+                subSet.add(value);
+            }
+            block = block.next[0];
+            index = 0;
+        }
+
+        return subSet;
+    }
+
+
+    public int getHeight(){
+        return currentTopLevel;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public int getBlockCapacity(){
+        return blockCapacity;
+    }
+
+    // Helper functions
+
+    //Last block whose first key is <= value, or head if there is none
+    private Block findBlock(T value){
+        Block curNode = head;
+        for (int level = currentTopLevel; level >= 0; level--) {
+            Block nextNode = curNode.next[level];
+            while (nextNode != null && !greaterThan(keyAt(nextNode, 0), value)) {
+                curNode = nextNode;
+                nextNode = curNode.next[level];
+            }
+        }
+        return curNode;
+    }
+
+    //Same as findBlock, also records the last block visited on every level
+    private Block findBlock(T value, Block[] update){
+        //Nothing above the top level but head, a new taller block may link in there
+        for (int level = MAX_LEVEL; level > currentTopLevel; level--) {
+            update[level] = head;
+        }
+
+        Block curNode = head;
+        for (int level = currentTopLevel; level >= 0; level--) {
+            Block nextNode = curNode.next[level];
+            while (nextNode != null && !greaterThan(keyAt(nextNode, 0), value)) {
+                curNode = nextNode;
+                nextNode = curNode.next[level];
+            }
+            update[level] = curNode;
+        }
+        return curNode;
+    }
+
+    //Last block on every level whose first key is strictly less than value
+    private Block findPredecessors(T value, Block[] update){
+        //Nothing above the top level but head, a new taller block may link in there
+        for (int level = MAX_LEVEL; level > currentTopLevel; level--) {
+            update[level] = head;
+        }
+
+        Block curNode = head;
+        for (int level = currentTopLevel; level >= 0; level--) {
+            Block nextNode = curNode.next[level];
+            while (nextNode != null && lessThan(keyAt(nextNode, 0), value)) {
+                curNode = nextNode;
+                nextNode = curNode.next[level];
+            }
+            update[level] = curNode;
+        }
+        return curNode;
+    }
+
+    //Binary search inside one block, same return convention as Arrays.binarySearch
+    private int searchBlock(Block block, T value){
+        int low = 0;
+        int high = block.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = keyAt(block, mid).compareTo(value);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertIntoBlock(Block block, int pos, T value){
+        System.arraycopy(block.keys, pos, block.keys, pos + 1, block.count - pos);
+        block.keys[pos] = value;
+        block.count++;
+    }
+
+    private void removeFromBlock(Block block, int pos){
+        System.arraycopy(block.keys, pos + 1, block.keys, pos, block.count - pos - 1);
+        block.count--;
+        block.keys[block.count] = null; // let the value be collected
+    }
+
+    //Move the upper half of a full block into a new block placed right after it
+    private Block splitBlock(Block block, Block[] update){
+        Block right = new Block(blockCapacity, coinFlipForLevel());
+        int half = block.count / 2;
+        int moved = block.count - half;
+        System.arraycopy(block.keys, half, right.keys, 0, moved);
+        java.util.Arrays.fill(block.keys, half, block.count, null);
+        block.count = half;
+        right.count = moved;
+
+        //On the levels block is on, the new block goes right after it
+        for (int i = 0; i <= block.getLevel(); i++) {
+            update[i] = block;
+        }
+        linkBlockAfter(right, update);
+        return right;
+    }
+
+    private void linkBlockAfter(Block newBlock, Block[] update){
+        for (int i = 0; i <= newBlock.getLevel(); i++) {
+            newBlock.next[i] = update[i].next[i];
+            update[i].next[i] = newBlock;
+        }
+
+        newBlock.prev = update[0] == head ? null : update[0];
+        if (newBlock.next[0] != null) {
+            newBlock.next[0].prev = newBlock;
+        } else {
+            tail = newBlock;
+        }
+    }
+
+    private void unlinkBlock(Block block, Block[] update){
+        for (int i = 0; i <= block.getLevel(); i++) {
+            if (update[i].next[i] == block) {
+                update[i].next[i] = block.next[i];
+            }
+        }
+
+        if (block.next[0] != null) {
+            block.next[0].prev = block.prev;
+        } else {
+            tail = block.prev;
+        }
+    }
+
+    //Pull the right neighbour into an underfull block when both fit into one.
+    //update holds the predecessors of the removed value, only block can sit between them and right
+    private void mergeWithNext(Block block, Block[] update){
+        Block right = block.next[0];
+        if (right == null || block.count + right.count > blockCapacity) {
+            return;
+        }
+
+        for (int i = 0; i <= block.getLevel(); i++) {
+            update[i] = block;
+        }
+
+        System.arraycopy(right.keys, 0, block.keys, block.count, right.count);
+        block.count += right.count;
+        unlinkBlock(right, update);
+    }
+
+    private int coinFlipForLevel(){
+        int curLevel = 0;
+
+        //Keep flipping coin and increasing level until tails
+        while (curLevel < MAX_LEVEL && randomSeed.nextBoolean()) {
+            curLevel++;
+        }
+
+        if (curLevel > currentTopLevel) {
+            currentTopLevel = curLevel;
+        }
+        return curLevel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T keyAt(Block block, int index){
+        return (T) block.keys[index];
+    }
+
+    private boolean lessThan(T a, T b) {
+        return a.compareTo(b) < 0;
+    }
+
+    private boolean equalTo(T a, T b) {
+        return a.compareTo(b) == 0;
+    }
+
+    private boolean greaterThan(T a, T b) {
+        return a.compareTo(b) > 0;
+    }
+
+    public void showTreeLevel(int level){
+        Block start = head.next[level];
+        while(start!=null){
+            System.err.print(start +"-->");
+            start = start.next[level];
+        }
+    }
+
+    public void printTree(){
+        for(int j=this.getHeight();j>=0;j--){
+            this.showTreeLevel(j);
+            System.err.println("");
+        }
+    }
+}